@@ -0,0 +1,379 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The MultiplyDispatcher class picks a multiplication kernel from {@link MultiplyKernels} for
+ * each call based on the operand sizes and how densely their terms fill the degree range.
+ * The crossover points between kernels are kept as thresholds that can be measured on the
+ * current machine with {@link #calibrate()} and saved to a properties file in the user's home
+ * directory, which is loaded the first time {@link #getInstance()} is called.
+ * <p>
+ * Coefficient width is not a dispatch criterion: every coefficient is a 32-bit int and every
+ * kernel uses the same int arithmetic, so the width of the values does not change which kernel
+ * is fastest.
+ * <p>
+ * Only {@link Polynomial#multiply(Polynomial)} and {@link Polynomial#shift(int)} are dispatched.
+ * {@link Polynomial#divide(Polynomial)} keeps its term-by-term long division, which updates the
+ * dividend's nodes in place and only subtracts from exponents the dividend already has.
+ *
+ * @author Francie Galapate
+ */
+public class MultiplyDispatcher {
+    /** The system property naming the thresholds file. */
+    public static final String FILE_PROPERTY = "polynomial.thresholds";
+    /** The name of the thresholds file in the user's home directory, used when the system property is not set. */
+    public static final String DEFAULT_FILE = ".polynomial-thresholds.properties";
+
+    private static final double DEFAULT_SPARSE_DENSITY = 0.05;
+    private static final int DEFAULT_KARATSUBA_LENGTH = 32;
+    private static final int DEFAULT_PARALLEL_LENGTH = 4096;
+    private static final double MAX_CALIBRATED_SPARSE_DENSITY = 0.5; // Calibration never sends denser operands to the sparse kernel
+
+    private static MultiplyDispatcher instance; // The dispatcher shared by all polynomials
+
+    private final double sparseDensity;   // Below this fraction of non-zero terms, the sparse kernel is used
+    private final int karatsubaLength;    // From this operand length on, Karatsuba's method is used
+    private final int parallelLength;     // From this operand length on, the parallel kernel is used
+
+    /**
+     * Default constructor that uses the built-in thresholds.
+     */
+    public MultiplyDispatcher() {
+        this(DEFAULT_SPARSE_DENSITY, DEFAULT_KARATSUBA_LENGTH, DEFAULT_PARALLEL_LENGTH);
+    }
+
+    /**
+     * Constructor that uses the given thresholds.
+     *
+     * @param sparseDensity   The term density below which the sparse kernel is used.
+     * @param karatsubaLength The shorter operand length from which Karatsuba's method is used.
+     * @param parallelLength  The shorter operand length from which the parallel kernel is used.
+     * @throws IllegalArgumentException If the density is not a positive finite number, or a length is below 2.
+     */
+    public MultiplyDispatcher(double sparseDensity, int karatsubaLength, int parallelLength) {
+        // A zero or NaN density would send every sparse operand to the dense kernels, which
+        // allocate an array as long as the degree
+        if (!(sparseDensity > 0) || Double.isInfinite(sparseDensity)) {
+            throw new IllegalArgumentException("Sparse density must be a positive finite number: " + sparseDensity);
+        }
+        if (karatsubaLength < 2 || parallelLength < 2) {
+            throw new IllegalArgumentException("Kernel lengths must be at least 2");
+        }
+        this.sparseDensity = sparseDensity;
+        this.karatsubaLength = karatsubaLength;
+        this.parallelLength = parallelLength;
+    }
+
+    /**
+     * Returns the shared dispatcher, loading the thresholds file on first use.
+     * The built-in thresholds are used if the file does not exist, and with a warning
+     * if it exists but cannot be read or parsed.
+     *
+     * @return The shared dispatcher.
+     */
+    public static synchronized MultiplyDispatcher getInstance() {
+        if (instance == null) {
+            Path file = thresholdsFile();
+            instance = new MultiplyDispatcher();
+            if (Files.exists(file)) {
+                try {
+                    instance = load(file);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Warning: ignoring thresholds file " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the path of the thresholds file from the system property, or the default file
+     * in the user's home directory, so it does not depend on the working directory.
+     *
+     * @return The path of the thresholds file.
+     */
+    public static Path thresholdsFile() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null) {
+            return Paths.get(file);
+        }
+        return Paths.get(System.getProperty("user.home"), DEFAULT_FILE);
+    }
+
+    /**
+     * Loads thresholds from a properties file. Missing keys keep their built-in values.
+     *
+     * @param file The file to read.
+     * @return A dispatcher using the loaded thresholds.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If a threshold is malformed or out of range.
+     */
+    public static MultiplyDispatcher load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return new MultiplyDispatcher(
+                Double.parseDouble(properties.getProperty("sparseDensity", String.valueOf(DEFAULT_SPARSE_DENSITY))),
+                Integer.parseInt(properties.getProperty("karatsubaLength", String.valueOf(DEFAULT_KARATSUBA_LENGTH))),
+                Integer.parseInt(properties.getProperty("parallelLength", String.valueOf(DEFAULT_PARALLEL_LENGTH))));
+    }
+
+    /**
+     * Saves the thresholds to a properties file.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("sparseDensity", String.valueOf(sparseDensity));
+        properties.setProperty("karatsubaLength", String.valueOf(karatsubaLength));
+        properties.setProperty("parallelLength", String.valueOf(parallelLength));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "Polynomial multiplication thresholds");
+        }
+    }
+
+    /**
+     * Accessor method for the sparse density threshold.
+     * @return The term density below which the sparse kernel is used.
+     */
+    public double getSparseDensity() {
+        return sparseDensity;
+    }
+
+    /**
+     * Accessor method for the Karatsuba threshold.
+     * @return The shorter operand length from which Karatsuba's method is used.
+     */
+    public int getKaratsubaLength() {
+        return karatsubaLength;
+    }
+
+    /**
+     * Accessor method for the parallel threshold.
+     * @return The shorter operand length from which the parallel kernel is used.
+     */
+    public int getParallelLength() {
+        return parallelLength;
+    }
+
+    /**
+     * Decides whether two operands should be multiplied with the sparse kernel.
+     * The density is the number of terms divided by the number of coefficients a dense
+     * representation of the operands would hold. Even sparse operands go to a dense kernel
+     * when they have more term products than the product has coefficients, because the
+     * sparse kernel does work for every term product.
+     *
+     * @param xTerms  The number of terms of the first operand.
+     * @param xDegree The degree of the first operand.
+     * @param yTerms  The number of terms of the second operand.
+     * @param yDegree The degree of the second operand.
+     * @return true if the sparse kernel should be used, and false for a dense kernel.
+     */
+    public boolean useSparse(int xTerms, int xDegree, int yTerms, int yDegree) {
+        double density = (double) (xTerms + yTerms) / ((double) xDegree + yDegree + 2);
+        long termProducts = (long) xTerms * yTerms;
+        long denseLength = (long) xDegree + yDegree + 1;
+        return density < sparseDensity && termProducts <= denseLength;
+    }
+
+    /**
+     * Multiplies two dense coefficient arrays with the kernel suited to their lengths.
+     *
+     * @param x The first coefficients, lowest degree first.
+     * @param y The second coefficients, lowest degree first.
+     * @return The coefficients of the product, lowest degree first.
+     */
+    public int[] multiplyDense(int[] x, int[] y) {
+        return multiplyDense(x, y, karatsubaLength, parallelLength);
+    }
+
+    /**
+     * Multiplies two dense coefficient arrays with the kernel suited to their lengths under the given thresholds.
+     *
+     * @param x               The first coefficients, lowest degree first.
+     * @param y               The second coefficients, lowest degree first.
+     * @param karatsubaLength The shorter operand length from which Karatsuba's method is used.
+     * @param parallelLength  The shorter operand length from which the parallel kernel is used.
+     * @return The coefficients of the product, lowest degree first.
+     */
+    private static int[] multiplyDense(int[] x, int[] y, int karatsubaLength, int parallelLength) {
+        int shorter = Math.min(x.length, y.length);
+        if (shorter >= parallelLength) {
+            return MultiplyKernels.parallel(x, y, karatsubaLength);
+        } else if (shorter >= karatsubaLength) {
+            return MultiplyKernels.karatsuba(x, y, karatsubaLength);
+        }
+        return MultiplyKernels.schoolbook(x, y);
+    }
+
+    /**
+     * Overrides the toString method and returns the thresholds in string form.
+     * @return The thresholds in string form.
+     */
+    public String toString() {
+        return "sparseDensity=" + sparseDensity + ", karatsubaLength=" + karatsubaLength
+                + ", parallelLength=" + parallelLength;
+    }
+
+    /**
+     * Measures the kernels on this machine and returns a dispatcher with the crossover
+     * thresholds found. Each threshold is the smallest tested size at which the faster
+     * algorithm wins; this takes a few seconds.
+     *
+     * @return A dispatcher using the measured thresholds.
+     */
+    public static MultiplyDispatcher calibrate() {
+        Random random = new Random(42);
+
+        // Schoolbook vs. one level of Karatsuba over schoolbook halves
+        int karatsuba = 1024;
+        for (int n = 8; n <= 512; n *= 2) {
+            int[] x = randomDense(random, n);
+            int[] y = randomDense(random, n);
+            final int length = n;
+            long schoolbookTime = time(() -> MultiplyKernels.schoolbook(x, y));
+            long karatsubaTime = time(() -> MultiplyKernels.karatsuba(x, y, length));
+            if (karatsubaTime < schoolbookTime) {
+                karatsuba = n;
+                break;
+            }
+        }
+
+        // Sequential vs. parallel, both using the Karatsuba threshold just found
+        int parallel = Integer.MAX_VALUE;
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            for (int n = 256; n <= 16384; n *= 2) {
+                int[] x = randomDense(random, n);
+                int[] y = randomDense(random, n);
+                final int cutoff = karatsuba;
+                long sequentialTime = time(() -> MultiplyKernels.karatsuba(x, y, cutoff));
+                long parallelTime = time(() -> MultiplyKernels.parallel(x, y, cutoff));
+                if (parallelTime < sequentialTime) {
+                    parallel = n;
+                    break;
+                }
+            }
+        }
+
+        // Sparse vs. dense at a fixed degree, from the sparsest operands upwards
+        final int karatsubaCutoff = karatsuba;
+        final int parallelCutoff = parallel;
+        int degree = 1023;
+        double sparse = MAX_CALIBRATED_SPARSE_DENSITY;
+        for (int terms = 4; terms <= degree + 1; terms *= 2) {
+            int[][] x = randomSparse(random, terms, degree);
+            int[][] y = randomSparse(random, terms, degree);
+            long sparseTime = time(() -> MultiplyKernels.sparse(x[0], x[1], y[0], y[1]));
+            long denseTime = time(() -> multiplyDense(toDense(x, degree), toDense(y, degree), karatsubaCutoff, parallelCutoff));
+            if (denseTime <= sparseTime) {
+                // Same density as useSparse computes for these operands
+                sparse = Math.min(MAX_CALIBRATED_SPARSE_DENSITY, (double) terms / (degree + 1));
+                break;
+            }
+        }
+
+        return new MultiplyDispatcher(sparse, karatsuba, parallel);
+    }
+
+    /**
+     * Times a task, returning the best average time per run over several rounds.
+     *
+     * @param task The task to time.
+     * @return The best average nanoseconds per run.
+     */
+    private static long time(Runnable task) {
+        // Warm up and find a repeat count that takes at least a few milliseconds
+        int repeats = 1;
+        while (true) {
+            long start = System.nanoTime();
+            for (int i = 0; i < repeats; i++) {
+                task.run();
+            }
+            if (System.nanoTime() - start >= 5_000_000L || repeats >= 1 << 20) {
+                break;
+            }
+            repeats *= 2;
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < repeats; i++) {
+                task.run();
+            }
+            best = Math.min(best, (System.nanoTime() - start) / repeats);
+        }
+        return best;
+    }
+
+    /**
+     * Creates random dense coefficients for benchmarking.
+     *
+     * @param random The random number generator.
+     * @param length The number of coefficients.
+     * @return The coefficients.
+     */
+    private static int[] randomDense(Random random, int length) {
+        int[] coefficients = new int[length];
+        for (int i = 0; i < length; i++) {
+            coefficients[i] = random.nextInt(201) - 100;
+        }
+        return coefficients;
+    }
+
+    /**
+     * Creates a random sparse polynomial with distinct exponents for benchmarking.
+     *
+     * @param random The random number generator.
+     * @param terms  The number of terms.
+     * @param degree The degree of the polynomial.
+     * @return Two arrays {exponents, coefficients} in descending order of exponent.
+     */
+    private static int[][] randomSparse(Random random, int terms, int degree) {
+        boolean[] used = new boolean[degree + 1];
+        used[degree] = true;
+        for (int placed = 1; placed < terms; ) {
+            int exponent = random.nextInt(degree);
+            if (!used[exponent]) {
+                used[exponent] = true;
+                placed++;
+            }
+        }
+
+        int[] exponents = new int[terms];
+        int[] coefficients = new int[terms];
+        int count = 0;
+        for (int exponent = degree; exponent >= 0; exponent--) {
+            if (used[exponent]) {
+                exponents[count] = exponent;
+                coefficients[count] = random.nextInt(100) + 1;
+                count++;
+            }
+        }
+        return new int[][] {exponents, coefficients};
+    }
+
+    /**
+     * Converts a sparse polynomial to dense coefficients, as the dense path must do per call.
+     *
+     * @param sparse Two arrays {exponents, coefficients}.
+     * @param degree The degree of the polynomial.
+     * @return The coefficients, lowest degree first.
+     */
+    private static int[] toDense(int[][] sparse, int degree) {
+        int[] coefficients = new int[degree + 1];
+        for (int i = 0; i < sparse[0].length; i++) {
+            coefficients[sparse[0][i]] = sparse[1][i];
+        }
+        return coefficients;
+    }
+}
\ No newline at end of file
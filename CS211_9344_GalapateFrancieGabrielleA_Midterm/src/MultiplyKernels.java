@@ -0,0 +1,246 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The MultiplyKernels class holds the polynomial multiplication algorithms that
+ * {@link MultiplyDispatcher} chooses between. Dense kernels work on coefficient arrays
+ * indexed by exponent (lowest degree first); the sparse kernel works on parallel arrays
+ * of exponents and coefficients. All kernels use the same int arithmetic, so they
+ * produce identical results.
+ *
+ * @author Francie Galapate
+ */
+public final class MultiplyKernels {
+
+    /**
+     * Prevents instantiation; all kernels are static.
+     */
+    private MultiplyKernels() {
+    }
+
+    /**
+     * Multiplies two sparse polynomials term by term, adding each product into a hash table
+     * keyed by exponent, so memory grows with the number of distinct exponents in the result
+     * rather than with the number of term products. The result is then sorted by exponent.
+     *
+     * @param xExponents    The exponents of the first polynomial.
+     * @param xCoefficients The coefficients of the first polynomial.
+     * @param yExponents    The exponents of the second polynomial.
+     * @param yCoefficients The coefficients of the second polynomial.
+     * @return Two arrays {exponents, coefficients} in descending order of exponent, without zero coefficients.
+     */
+    public static int[][] sparse(int[] xExponents, int[] xCoefficients, int[] yExponents, int[] yCoefficients) {
+        // Open addressing with linear probing; the capacity is a power of two kept at most half full
+        int capacity = Integer.highestOneBit(Math.max(16, 2 * (xExponents.length + yExponents.length)) - 1) << 1;
+        int[] keys = new int[capacity];
+        int[] sums = new int[capacity];
+        boolean[] used = new boolean[capacity];
+        int entries = 0;
+
+        for (int i = 0; i < xExponents.length; i++) {
+            for (int j = 0; j < yExponents.length; j++) {
+                int exponent = xExponents[i] + yExponents[j];
+                int slot = findSlot(keys, used, exponent);
+                if (!used[slot]) {
+                    if (2 * (entries + 1) > keys.length) {
+                        // Rehash into a table twice the size
+                        int[] oldKeys = keys;
+                        int[] oldSums = sums;
+                        boolean[] oldUsed = used;
+                        keys = new int[oldKeys.length * 2];
+                        sums = new int[oldKeys.length * 2];
+                        used = new boolean[oldKeys.length * 2];
+                        for (int k = 0; k < oldKeys.length; k++) {
+                            if (oldUsed[k]) {
+                                int newSlot = findSlot(keys, used, oldKeys[k]);
+                                keys[newSlot] = oldKeys[k];
+                                sums[newSlot] = oldSums[k];
+                                used[newSlot] = true;
+                            }
+                        }
+                        slot = findSlot(keys, used, exponent);
+                    }
+                    keys[slot] = exponent;
+                    used[slot] = true;
+                    entries++;
+                }
+                sums[slot] += xCoefficients[i] * yCoefficients[j];
+            }
+        }
+
+        // Pack each term as (exponent << 32 | coefficient) so sorting the longs orders them by exponent
+        long[] packed = new long[entries];
+        int count = 0;
+        for (int k = 0; k < keys.length; k++) {
+            if (used[k] && sums[k] != 0) {
+                packed[count++] = ((long) keys[k] << 32) | (sums[k] & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(packed, 0, count);
+
+        int[] exponents = new int[count];
+        int[] coefficients = new int[count];
+        for (int k = 0; k < count; k++) {
+            long term = packed[count - 1 - k];
+            exponents[k] = (int) (term >>> 32);
+            coefficients[k] = (int) term;
+        }
+        return new int[][] {exponents, coefficients};
+    }
+
+    /**
+     * Finds the slot holding an exponent, or the empty slot where it should be inserted.
+     *
+     * @param keys     The exponents in the table.
+     * @param used     Whether each slot is occupied.
+     * @param exponent The exponent to look up.
+     * @return The index of the slot.
+     */
+    private static int findSlot(int[] keys, boolean[] used, int exponent) {
+        int mask = keys.length - 1;
+        int hash = exponent * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (used[slot] && keys[slot] != exponent) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Multiplies two dense coefficient arrays with the quadratic schoolbook method.
+     *
+     * @param x The first coefficients, lowest degree first.
+     * @param y The second coefficients, lowest degree first.
+     * @return The coefficients of the product, lowest degree first.
+     */
+    public static int[] schoolbook(int[] x, int[] y) {
+        int[] product = new int[x.length + y.length - 1];
+        for (int i = 0; i < x.length; i++) {
+            if (x[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < y.length; j++) {
+                product[i + j] += x[i] * y[j];
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Multiplies two dense coefficient arrays with Karatsuba's method, falling back to the
+     * schoolbook method once the shorter operand has fewer than cutoff coefficients.
+     * Operands of very different lengths are multiplied in blocks of the shorter length.
+     *
+     * @param x      The first coefficients, lowest degree first.
+     * @param y      The second coefficients, lowest degree first.
+     * @param cutoff The operand length below which the schoolbook method is used.
+     * @return The coefficients of the product, lowest degree first.
+     */
+    public static int[] karatsuba(int[] x, int[] y, int cutoff) {
+        if (x.length < y.length) {
+            int[] temp = x;
+            x = y;
+            y = temp;
+        }
+        if (y.length < Math.max(cutoff, 2)) {
+            return schoolbook(x, y);
+        }
+        if (x.length > y.length) {
+            return multiplyInBlocks(x, y, y.length, cutoff, false);
+        }
+
+        // Equal lengths: x = low + t^half * high, likewise for y
+        int n = x.length;
+        int half = n / 2;
+        int[] xLow = Arrays.copyOfRange(x, 0, half);
+        int[] xHigh = Arrays.copyOfRange(x, half, n);
+        int[] yLow = Arrays.copyOfRange(y, 0, half);
+        int[] yHigh = Arrays.copyOfRange(y, half, n);
+
+        int[] low = karatsuba(xLow, yLow, cutoff);
+        int[] high = karatsuba(xHigh, yHigh, cutoff);
+        int[] middle = karatsuba(addArrays(xLow, xHigh), addArrays(yLow, yHigh), cutoff);
+
+        int[] product = new int[2 * n - 1];
+        for (int i = 0; i < low.length; i++) {
+            product[i] += low[i];
+            middle[i] -= low[i];
+        }
+        for (int i = 0; i < high.length; i++) {
+            product[i + 2 * half] += high[i];
+            middle[i] -= high[i];
+        }
+        for (int i = 0; i < middle.length; i++) {
+            product[i + half] += middle[i];
+        }
+        return product;
+    }
+
+    /**
+     * Multiplies two dense coefficient arrays by splitting the longer one into one block per
+     * available processor and multiplying the blocks concurrently with Karatsuba's method.
+     *
+     * @param x      The first coefficients, lowest degree first.
+     * @param y      The second coefficients, lowest degree first.
+     * @param cutoff The operand length below which the schoolbook method is used.
+     * @return The coefficients of the product, lowest degree first.
+     */
+    public static int[] parallel(int[] x, int[] y, int cutoff) {
+        if (x.length < y.length) {
+            int[] temp = x;
+            x = y;
+            y = temp;
+        }
+        int blocks = Math.min(Runtime.getRuntime().availableProcessors(), x.length);
+        if (blocks < 2) {
+            return karatsuba(x, y, cutoff);
+        }
+        int blockLength = (x.length + blocks - 1) / blocks;
+        return multiplyInBlocks(x, y, blockLength, cutoff, true);
+    }
+
+    /**
+     * Multiplies x by y one block of x at a time and adds the shifted block products together.
+     *
+     * @param x           The longer coefficients, lowest degree first.
+     * @param y           The shorter coefficients, lowest degree first.
+     * @param blockLength The number of coefficients of x in each block.
+     * @param cutoff      The operand length below which the schoolbook method is used.
+     * @param concurrent  Whether the block products are computed in parallel.
+     * @return The coefficients of the product, lowest degree first.
+     */
+    private static int[] multiplyInBlocks(int[] x, int[] y, int blockLength, int cutoff, boolean concurrent) {
+        int blocks = (x.length + blockLength - 1) / blockLength;
+        IntStream indices = IntStream.range(0, blocks);
+        if (concurrent) {
+            indices = indices.parallel();
+        }
+        int[][] partials = indices
+                .mapToObj(b -> karatsuba(Arrays.copyOfRange(x, b * blockLength, Math.min(x.length, (b + 1) * blockLength)), y, cutoff))
+                .toArray(int[][]::new);
+
+        int[] product = new int[x.length + y.length - 1];
+        for (int b = 0; b < blocks; b++) {
+            int offset = b * blockLength;
+            for (int i = 0; i < partials[b].length; i++) {
+                product[offset + i] += partials[b][i];
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Adds two coefficient arrays where the second is at least as long as the first.
+     *
+     * @param shorter The shorter coefficients, lowest degree first.
+     * @param longer  The longer coefficients, lowest degree first.
+     * @return The coefficients of the sum, lowest degree first.
+     */
+    private static int[] addArrays(int[] shorter, int[] longer) {
+        int[] sum = Arrays.copyOf(longer, longer.length);
+        for (int i = 0; i < shorter.length; i++) {
+            sum[i] += shorter[i];
+        }
+        return sum;
+    }
+}
\ No newline at end of file
@@ -4,7 +4,7 @@ import Exceptions.ZeroCoefficientException;
 /**
  * The Polynomial class represents a polynomial where each term is stored as a Node in a linked list.
  * It provides functionality for polynomial operations such as insertion, sorting, display,
- * addition, subtraction, multiplication, and division.
+ * addition, subtraction, multiplication, division, differentiation, integration, and shifting.
  *
  * @author Francie Galapate
  */
@@ -180,7 +180,8 @@ public class Polynomial {
     }
 
     /**
-     * Multiplies two polynomials and returns the result as a new Polynomial.
+     * Multiplies two polynomials and returns the result as a new Polynomial sorted in descending order.
+     * The multiplication algorithm is chosen by {@link MultiplyDispatcher}.
      *
      * @param p The polynomial to multiply with.
      * @return The product of the two polynomials.
@@ -188,28 +189,18 @@ public class Polynomial {
      * @throws ZeroCoefficientException  If a term with zero coefficient is encountered.
      */
     public Polynomial multiply(Polynomial p) throws NegativeExponentException, ZeroCoefficientException {
-        Polynomial result = new Polynomial();
-
-        Node currentPointer = this.head;
-
-        while (currentPointer != null) {
-            Node otherPointer = p.head;
-
-            while (otherPointer != null) {
-                int termProductCoefficient = currentPointer.getTerm().getCoefficient() * otherPointer.getTerm().getCoefficient();
-                int termSumExponent = currentPointer.getTerm().getExponent() + otherPointer.getTerm().getExponent();
-
-                Term productTerm = new Term(termProductCoefficient, termSumExponent);
-                result.insertTerm(productTerm);
-
-                otherPointer = otherPointer.getNext();
-            }
-
-            currentPointer = currentPointer.getNext();
+        int[][] thisTerms = this.toTermArrays();
+        int[][] otherTerms = p.toTermArrays();
+        if (thisTerms[0].length == 0 || otherTerms[0].length == 0) {
+            return new Polynomial();
         }
 
-        result = combineLikeTerms(result);
-        return result;
+        // Let the dispatcher pick the kernel from the operand sizes and densities
+        MultiplyDispatcher dispatcher = MultiplyDispatcher.getInstance();
+        if (dispatcher.useSparse(thisTerms[0].length, degreeOf(thisTerms[0]), otherTerms[0].length, degreeOf(otherTerms[0]))) {
+            return fromTermArrays(MultiplyKernels.sparse(thisTerms[0], thisTerms[1], otherTerms[0], otherTerms[1]));
+        }
+        return fromCoefficientArray(dispatcher.multiplyDense(toCoefficientArray(thisTerms), toCoefficientArray(otherTerms)));
     }
 
     /**
@@ -265,89 +256,233 @@ public class Polynomial {
     }
 
     /**
-     * Removes a specific term from the polynomial based on the given node reference.
+     * Differentiates the polynomial and returns the result as a new Polynomial.
+     * The terms are visited once and keep their current order; the constant term is dropped.
      *
-     * @param termNode The node representing the term to be removed.
+     * @return The derivative of the polynomial.
+     * @throws NegativeExponentException If a term with a negative exponent is encountered.
+     * @throws ZeroCoefficientException  If a term with zero coefficient is encountered.
      */
-    private void removeTerm(Node termNode) {
-        if (this.head == termNode) {
-            this.head = this.head.getNext();
-        } else {
-            Node prev = this.head;
-            while (prev.getNext() != termNode) {
-                prev = prev.getNext();
+    public Polynomial derivative() throws NegativeExponentException, ZeroCoefficientException {
+        Polynomial result = new Polynomial();
+        Node tail = null;
+        Node currentPointer = this.head;
+
+        while (currentPointer != null) {
+            Term term = currentPointer.getTerm();
+            if (term.getExponent() != 0) {
+                Term derivedTerm = new Term(term.getCoefficient() * term.getExponent(), term.getExponent() - 1);
+                tail = result.appendTerm(tail, derivedTerm);
             }
-            prev.setNext(termNode.getNext());
+            currentPointer = currentPointer.getNext();
         }
+
+        return result;
     }
 
     /**
-     * Combines like terms in the provided polynomial by merging terms with the same exponent.
+     * Integrates the polynomial and returns the result with exact fractional coefficients.
+     * The terms are visited once and keep their current order; the constant of integration is zero.
      *
-     * @param poly The polynomial to combine like terms in.
-     * @return The polynomial with combined like terms.
-     * @throws ZeroCoefficientException If a term with zero coefficient is encountered.
+     * @return The antiderivative of the polynomial.
      */
-    private Polynomial combineLikeTerms(Polynomial poly) throws ZeroCoefficientException {
-        Polynomial combined = new Polynomial();
-        Node currentPointer = poly.head;
+    public RationalPolynomial integral() {
+        RationalPolynomial result = new RationalPolynomial(size);
+        Node currentPointer = this.head;
 
         while (currentPointer != null) {
-            Node tempPointer = combined.head;
-            boolean isCombined = false;
+            Term term = currentPointer.getTerm();
+            int newExponent = term.getExponent() + 1;
+            result.insertTerm(term.getCoefficient(), newExponent, newExponent);
+            currentPointer = currentPointer.getNext();
+        }
 
-            while (tempPointer != null) {
-                if (tempPointer.getTerm().getExponent() == currentPointer.getTerm().getExponent()) {
-                    int newCoefficient = tempPointer.getTerm().getCoefficient() + currentPointer.getTerm().getCoefficient();
-                    tempPointer.getTerm().setCoefficient(newCoefficient);
+        return result;
+    }
 
-                    isCombined = true;
+    /**
+     * Substitutes x + a for x and returns p(x + a) as a new Polynomial sorted in descending order.
+     * The coefficients are split in halves, each half is shifted recursively, and the upper half is
+     * recombined by multiplying with a precomputed power (x + a)^(2^j), so the shift costs about as
+     * much as one multiplication of polynomials of the same degree.
+     *
+     * @param a The amount to shift by.
+     * @return The shifted polynomial.
+     * @throws NegativeExponentException If a term with a negative exponent is encountered.
+     * @throws ZeroCoefficientException  If a term with zero coefficient is encountered.
+     */
+    public Polynomial shift(int a) throws NegativeExponentException, ZeroCoefficientException {
+        int[] coefficients = toCoefficientArray(toTermArrays());
+        if (coefficients.length == 0 || a == 0) {
+            return fromCoefficientArray(coefficients);
+        }
 
-                    if (newCoefficient == 0) {
-                        combined.removeTerm(tempPointer.getTerm().getExponent());
-                    }
-                    break;
-                }
-                tempPointer = tempPointer.getNext();
-            }
+        // powers[j] holds the coefficients of (x + a)^(2^j), lowest degree first
+        int levels = 0;
+        while ((1 << levels) < coefficients.length) {
+            levels++;
+        }
+        MultiplyDispatcher dispatcher = MultiplyDispatcher.getInstance();
+        int[][] powers = new int[Math.max(levels, 1)][];
+        powers[0] = new int[] {a, 1};
+        for (int j = 1; j < levels; j++) {
+            powers[j] = dispatcher.multiplyDense(powers[j - 1], powers[j - 1]);
+        }
 
-            if (!isCombined) {
-                combined.insertTerm(currentPointer.getTerm());
-            }
+        return fromCoefficientArray(shiftCoefficients(coefficients, 0, coefficients.length, powers, dispatcher));
+    }
 
-            currentPointer = currentPointer.getNext();
+    /**
+     * Shifts the slice coefficients[offset, offset + length) as if it were a polynomial of its own.
+     *
+     * @param coefficients The coefficients, lowest degree first.
+     * @param offset       The index of the first coefficient in the slice.
+     * @param length       The number of coefficients in the slice.
+     * @param powers       The powers (x + a)^(2^j), lowest degree first.
+     * @param dispatcher   The dispatcher that multiplies the halves back together.
+     * @return The coefficients of the shifted slice, lowest degree first.
+     */
+    private static int[] shiftCoefficients(int[] coefficients, int offset, int length, int[][] powers,
+                                           MultiplyDispatcher dispatcher) {
+        if (length == 1) {
+            return new int[] {coefficients[offset]};
         }
 
-        return combined;
+        // Split at the largest power of two below length: p = low + x^half * high
+        int level = 31 - Integer.numberOfLeadingZeros(length - 1);
+        int half = 1 << level;
+
+        int[] low = shiftCoefficients(coefficients, offset, half, powers, dispatcher);
+        int[] high = shiftCoefficients(coefficients, offset + half, length - half, powers, dispatcher);
+        int[] result = dispatcher.multiplyDense(high, powers[level]);
+
+        for (int i = 0; i < low.length; i++) {
+            result[i] += low[i];
+        }
+        return result;
     }
 
     /**
-     * Removes a term from the polynomial based on the exponent value.
+     * Copies the terms of the polynomial into parallel arrays, keeping their current order.
      *
-     * @param exponent The exponent of the term to remove.
+     * @return Two arrays {exponents, coefficients}.
      */
-    private void removeTerm(int exponent) {
-        if (head == null) return;
+    private int[][] toTermArrays() {
+        int count = 0;
+        for (Node current = head; current != null; current = current.getNext()) {
+            count++;
+        }
 
-        if (head.getTerm().getExponent() == exponent) {
-            head = head.getNext();
-            size--;
-            return;
+        int[] exponents = new int[count];
+        int[] coefficients = new int[count];
+        int i = 0;
+        for (Node current = head; current != null; current = current.getNext()) {
+            exponents[i] = current.getTerm().getExponent();
+            coefficients[i] = current.getTerm().getCoefficient();
+            i++;
         }
+        return new int[][] {exponents, coefficients};
+    }
 
-        Node current = head;
-        Node previous = null;
+    /**
+     * Finds the highest exponent among the given exponents.
+     *
+     * @param exponents The exponents to search.
+     * @return The highest exponent, or -1 if there are none.
+     */
+    private static int degreeOf(int[] exponents) {
+        int degree = -1;
+        for (int exponent : exponents) {
+            degree = Math.max(degree, exponent);
+        }
+        return degree;
+    }
 
-        while (current != null) {
-            if (current.getTerm().getExponent() == exponent) {
-                if (previous != null) {
-                    previous.setNext(current.getNext());
-                }
-                size--;
-                return;
+    /**
+     * Converts terms to a dense coefficient array indexed by exponent.
+     * Terms with the same exponent are summed.
+     *
+     * @param terms Two arrays {exponents, coefficients}.
+     * @return The coefficients, lowest degree first, or an empty array if there are no terms.
+     */
+    private static int[] toCoefficientArray(int[][] terms) {
+        int[] coefficients = new int[degreeOf(terms[0]) + 1];
+        for (int i = 0; i < terms[0].length; i++) {
+            coefficients[terms[0][i]] += terms[1][i];
+        }
+        return coefficients;
+    }
+
+    /**
+     * Builds a polynomial from parallel arrays of exponents and non-zero coefficients, keeping their order.
+     *
+     * @param terms Two arrays {exponents, coefficients}.
+     * @return The polynomial with those terms.
+     * @throws NegativeExponentException If a term with a negative exponent is encountered.
+     * @throws ZeroCoefficientException  If a term with zero coefficient is encountered.
+     */
+    private static Polynomial fromTermArrays(int[][] terms) throws NegativeExponentException, ZeroCoefficientException {
+        Polynomial result = new Polynomial();
+        Node tail = null;
+
+        for (int i = 0; i < terms[0].length; i++) {
+            tail = result.appendTerm(tail, new Term(terms[1][i], terms[0][i]));
+        }
+        return result;
+    }
+
+    /**
+     * Builds a polynomial in descending order from a dense coefficient array, skipping zero coefficients.
+     *
+     * @param coefficients The coefficients, lowest degree first.
+     * @return The polynomial with those coefficients.
+     * @throws NegativeExponentException If a term with a negative exponent is encountered.
+     * @throws ZeroCoefficientException  If a term with zero coefficient is encountered.
+     */
+    private static Polynomial fromCoefficientArray(int[] coefficients) throws NegativeExponentException, ZeroCoefficientException {
+        Polynomial result = new Polynomial();
+        Node tail = null;
+
+        for (int exponent = coefficients.length - 1; exponent >= 0; exponent--) {
+            if (coefficients[exponent] != 0) {
+                tail = result.appendTerm(tail, new Term(coefficients[exponent], exponent));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Appends a term after the given tail node without walking the list.
+     *
+     * @param tail The current last node, or null if the polynomial is empty.
+     * @param term The term to append.
+     * @return The new last node.
+     */
+    private Node appendTerm(Node tail, Term term) {
+        Node newTerm = new Node(term, null);
+        if (tail == null) {
+            head = newTerm;
+        } else {
+            tail.setNext(newTerm);
+        }
+        size++;
+        return newTerm;
+    }
+
+    /**
+     * Removes a specific term from the polynomial based on the given node reference.
+     *
+     * @param termNode The node representing the term to be removed.
+     */
+    private void removeTerm(Node termNode) {
+        if (this.head == termNode) {
+            this.head = this.head.getNext();
+        } else {
+            Node prev = this.head;
+            while (prev.getNext() != termNode) {
+                prev = prev.getNext();
             }
-            previous = current;
-            current = current.getNext();
+            prev.setNext(termNode.getNext());
         }
     }
 }
\ No newline at end of file
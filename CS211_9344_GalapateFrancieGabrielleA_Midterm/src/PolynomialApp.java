@@ -1,11 +1,14 @@
 import Exceptions.NegativeExponentException;
 import Exceptions.ZeroCoefficientException;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 /**
  * PolynomialApp is a console application that allows users to input a polynomial
  * and perform various operations such as addition, subtraction, multiplication,
- * and division with another polynomial. The application will repeatedly display
+ * and division with another polynomial, as well as differentiation, integration,
+ * and shifting of the entered polynomial. The application will repeatedly display
  * a menu of operations until the user chooses to quit.
  *
  * @author Francie Galapate
@@ -16,12 +19,20 @@ public class PolynomialApp {
      * The main method initializes the application and prompts the user to enter a
      * polynomial. It then displays a menu for the user to choose between polynomial
      * operations such as adding, subtracting, multiplying, and dividing polynomials.
+     * Running with the argument --calibrate instead measures the multiplication kernels on
+     * this machine and saves the thresholds to the file loaded by {@link MultiplyDispatcher}
+     * (by default .polynomial-thresholds.properties in the user's home directory).
      *
-     * @param args Command-line arguments (not used).
+     * @param args Command-line arguments; --calibrate runs the calibration mode.
      * @throws NegativeExponentException If a term with a negative exponent is encountered.
      * @throws ZeroCoefficientException  If a term with a zero coefficient is encountered.
      */
     public static void main(String[] args) throws NegativeExponentException, ZeroCoefficientException {
+        if (args.length > 0 && args[0].equals("--calibrate")) {
+            calibrate();
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         int degree, coefficient;
 
@@ -36,7 +47,10 @@ public class PolynomialApp {
             System.out.println("2. Subtract Another Polynomial");
             System.out.println("3. Multiply with Another Polynomial");
             System.out.println("4. Divide by Another Polynomial");
-            System.out.println("5. Quit");
+            System.out.println("5. Differentiate the Polynomial");
+            System.out.println("6. Integrate the Polynomial");
+            System.out.println("7. Shift the Polynomial (substitute x + a)");
+            System.out.println("8. Quit");
             System.out.print("Choose an option: ");
             String choice = scanner.next();
 
@@ -74,6 +88,29 @@ public class PolynomialApp {
                     break;
 
                 case "5":
+                    // Differentiate the current polynomial
+                    Polynomial derivative = newPolynomial.derivative();
+                    System.out.println("The derivative of the polynomial is: ");
+                    derivative.displayPolynomial();
+                    break;
+
+                case "6":
+                    // Integrate the current polynomial
+                    RationalPolynomial integral = newPolynomial.integral();
+                    System.out.println("The integral of the polynomial is: ");
+                    integral.displayPolynomial();
+                    break;
+
+                case "7":
+                    // Substitute x + a into the current polynomial
+                    System.out.println("Enter the value of a: ");
+                    int a = scanner.nextInt();
+                    Polynomial shifted = newPolynomial.shift(a);
+                    System.out.println("The result of substituting x + " + a + " is: ");
+                    shifted.displayPolynomial();
+                    break;
+
+                case "8":
                     // Quit the application
                     System.out.println("Exiting the application.");
                     return;
@@ -84,6 +121,23 @@ public class PolynomialApp {
         }
     }
 
+    /**
+     * Measures the multiplication kernels and saves the thresholds for later runs.
+     */
+    private static void calibrate() {
+        System.out.println("Calibrating multiplication thresholds...");
+        MultiplyDispatcher dispatcher = MultiplyDispatcher.calibrate();
+        System.out.println("Measured thresholds: " + dispatcher);
+
+        Path file = MultiplyDispatcher.thresholdsFile().toAbsolutePath();
+        try {
+            dispatcher.save(file);
+            System.out.println("Saved to " + file);
+        } catch (IOException e) {
+            System.err.println("Could not save thresholds to " + file + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Prompts the user to enter a polynomial by specifying its degree and the
      * coefficients of each term.
@@ -0,0 +1,242 @@
+import java.util.Arrays;
+
+/**
+ * The RationalPolynomial class represents a polynomial whose coefficients are exact fractions.
+ * It is the result type of {@link Polynomial#integral()}, where dividing by the new exponent
+ * does not always give an integer. Each coefficient is kept as a reduced numerator/denominator
+ * pair with a positive denominator, and terms are stored in the order they were appended
+ * until the polynomial is sorted or displayed.
+ *
+ * @author Francie Galapate
+ */
+public class RationalPolynomial {
+    private int[] numerators;    // The numerator of each term's coefficient
+    private int[] denominators;  // The (positive) denominator of each term's coefficient
+    private int[] exponents;     // The exponent of each term
+    public int size;             // The number of terms in the polynomial
+
+    /**
+     * Default constructor that initializes an empty rational polynomial.
+     */
+    public RationalPolynomial() {
+        this(1);
+    }
+
+    /**
+     * Constructor that initializes an empty rational polynomial with room for a number of terms.
+     *
+     * @param capacity The number of terms to reserve space for.
+     */
+    public RationalPolynomial(int capacity) {
+        int initial = Math.max(capacity, 1);
+        this.numerators = new int[initial];
+        this.denominators = new int[initial];
+        this.exponents = new int[initial];
+        this.size = 0;
+    }
+
+    /**
+     * Appends the term (numerator/denominator)x^exponent, reducing the fraction first.
+     * Terms whose numerator is zero are skipped.
+     *
+     * @param numerator   The numerator of the coefficient.
+     * @param denominator The denominator of the coefficient.
+     * @param exponent    The exponent of the term.
+     * @throws ArithmeticException If the denominator is zero.
+     */
+    public void insertTerm(int numerator, int denominator, int exponent) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Denominator cannot be zero");
+        }
+        if (numerator == 0) {
+            return;
+        }
+
+        // Keep the sign on the numerator and store the fraction in lowest terms
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        int divisor = (int) gcd(Math.abs(numerator), denominator);
+
+        if (size == exponents.length) {
+            int capacity = size * 2;
+            numerators = Arrays.copyOf(numerators, capacity);
+            denominators = Arrays.copyOf(denominators, capacity);
+            exponents = Arrays.copyOf(exponents, capacity);
+        }
+        numerators[size] = numerator / divisor;
+        denominators[size] = denominator / divisor;
+        exponents[size] = exponent;
+        size++;
+    }
+
+    /**
+     * Accessor method for the numerator of a term's coefficient.
+     *
+     * @param index The position of the term.
+     * @return The numerator of the term's reduced coefficient.
+     */
+    public int getNumerator(int index) {
+        checkIndex(index);
+        return numerators[index];
+    }
+
+    /**
+     * Accessor method for the denominator of a term's coefficient.
+     *
+     * @param index The position of the term.
+     * @return The positive denominator of the term's reduced coefficient.
+     */
+    public int getDenominator(int index) {
+        checkIndex(index);
+        return denominators[index];
+    }
+
+    /**
+     * Accessor method for the exponent of a term.
+     *
+     * @param index The position of the term.
+     * @return The exponent of the term.
+     */
+    public int getExponent(int index) {
+        checkIndex(index);
+        return exponents[index];
+    }
+
+    /**
+     * Sorts the terms in descending order of exponent and combines terms with the same exponent,
+     * dropping any whose coefficients cancel out.
+     */
+    public void sortPolynomial() {
+        if (size < 2) {
+            return;
+        }
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(exponents[b], exponents[a]));
+
+        int[] sortedNumerators = new int[size];
+        int[] sortedDenominators = new int[size];
+        int[] sortedExponents = new int[size];
+        int terms = 0;
+        for (int index : order) {
+            if (terms > 0 && sortedExponents[terms - 1] == exponents[index]) {
+                // Same exponent as the previous term: add the fractions and reduce
+                long numerator = (long) sortedNumerators[terms - 1] * denominators[index]
+                        + (long) numerators[index] * sortedDenominators[terms - 1];
+                long denominator = (long) sortedDenominators[terms - 1] * denominators[index];
+                long divisor = gcd(Math.abs(numerator), denominator);
+                sortedNumerators[terms - 1] = (int) (numerator / divisor);
+                sortedDenominators[terms - 1] = (int) (denominator / divisor);
+            } else {
+                // Drop the previous term if its coefficients cancelled out
+                if (terms > 0 && sortedNumerators[terms - 1] == 0) {
+                    terms--;
+                }
+                sortedNumerators[terms] = numerators[index];
+                sortedDenominators[terms] = denominators[index];
+                sortedExponents[terms] = exponents[index];
+                terms++;
+            }
+        }
+        if (terms > 0 && sortedNumerators[terms - 1] == 0) {
+            terms--;
+        }
+
+        numerators = sortedNumerators;
+        denominators = sortedDenominators;
+        exponents = sortedExponents;
+        size = terms;
+    }
+
+    /**
+     * Displays the rational polynomial in standard form by sorting terms in descending order of
+     * exponents. Prints "0" if the polynomial is empty.
+     */
+    public void displayPolynomial() {
+        System.out.println(toString());
+    }
+
+    /**
+     * Overrides the toString method and returns the polynomial in string form
+     *  ex. 1/3x^3 + x^2 -1/2x
+     * The terms are sorted and like terms combined first.
+     * @return The polynomial in string form.
+     */
+    public String toString() {
+        sortPolynomial();
+
+        if (size == 0) {
+            return "0";
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                result.append(numerators[i] > 0 ? " + " : " ");
+            }
+            result.append(termToString(i));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Formats a single term, omitting a coefficient of 1 or -1 in front of the variable.
+     *
+     * @param index The position of the term.
+     * @return The term in string form.
+     */
+    private String termToString(int index) {
+        int numerator = numerators[index];
+        int denominator = denominators[index];
+        int exponent = exponents[index];
+
+        String term = "";
+        if (denominator != 1) {
+            term += numerator + "/" + denominator;
+        } else if (exponent == 0 || Math.abs(numerator) != 1) {
+            term += numerator;
+        } else if (numerator < 0) {
+            term += "-";
+        }
+
+        if (exponent == 1) {
+            term += "x";
+        } else if (exponent > 1) {
+            term += "x^" + exponent;
+        }
+        return term;
+    }
+
+    /**
+     * Checks that an index refers to an existing term.
+     *
+     * @param index The position to check.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Term index " + index + " out of range for size " + size);
+        }
+    }
+
+    /**
+     * Computes the greatest common divisor of two non-negative integers.
+     * A result of 0 (both inputs 0) is returned as 1 so it is always safe to divide by.
+     *
+     * @param a The first integer.
+     * @param b The second integer.
+     * @return The greatest common divisor of a and b.
+     */
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a == 0 ? 1 : a;
+    }
+}
\ No newline at end of file